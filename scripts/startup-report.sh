@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Measures startup time and first-request latency.
+# Usage: scripts/startup-report.sh [runs]
+# Build first: ./gradlew cdsArchive cdsArchiveAot -Paot (needs a running PostgreSQL with the tasks schema)
+# Results and procedure: scripts/startup-report.md
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+STARTUP_TIMEOUT=${STARTUP_TIMEOUT:-120}
+DIR="$(cd "$(dirname "$0")/.." && pwd)/build/cds"
+# CDS validates the classpath against the training run, which started the relative jar from $DIR
+cd "$DIR"
+JAR=$(basename "$(ls ./*.jar | head -n 1)")
+URL="http://localhost:$PORT/tasks?filterByStatus=TODO&sortBy=DEADLINE&sortDirection=ASC"
+LOG="startup-report.log"
+
+measure() {
+    local name=$1; shift
+    local total_start=0 total_first=0
+    for ((i = 1; i <= RUNS; i++)); do
+        local t0 t1 first deadline
+        t0=$(date +%s%N)
+        deadline=$(( $(date +%s) + STARTUP_TIMEOUT ))
+        java "$@" -Dserver.port="$PORT" -jar "$JAR" > "$LOG" 2>&1 &
+        local pid=$!
+        until curl -s -o /dev/null "http://localhost:$PORT/"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$name: JVM exited during startup, see $DIR/$LOG" >&2
+                exit 1
+            fi
+            if (( $(date +%s) >= deadline )); then
+                kill "$pid" 2> /dev/null || true
+                echo "$name: no response within ${STARTUP_TIMEOUT}s, see $DIR/$LOG" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        t1=$(date +%s%N)
+        first=$(curl -s -o /dev/null -w '%{time_total}' "$URL")
+        kill "$pid"; wait "$pid" 2> /dev/null || true
+        total_start=$((total_start + (t1 - t0) / 1000000))
+        total_first=$(echo "$total_first + $first * 1000" | bc)
+    done
+    printf '%-28s startup %6d ms   first request %8.1f ms\n' "$name" \
+        $((total_start / RUNS)) "$(echo "$total_first / $RUNS" | bc -l)"
+}
+
+echo "avg of $RUNS runs"
+measure "default" -Dspring.profiles.active=default
+measure "startup profile" -Dspring.profiles.active=startup
+measure "startup + CDS" -Xshare:on -XX:SharedArchiveFile=application.jsa -Dspring.profiles.active=startup
+if [[ -f application-aot.jsa ]]; then
+    measure "startup + CDS + AOT" -Xshare:on -XX:SharedArchiveFile=application-aot.jsa -Dspring.profiles.active=startup \
+        -Dspring.aot.enabled=true
+else
+    echo "startup + CDS + AOT          skipped: build with ./gradlew cdsArchiveAot -Paot"
+fi
@@ -0,0 +1,33 @@
+package ru.uwurahara.todolistapplication.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+@Configuration
+@EnableJpaAuditing
+public class AuditingConfig {
+
+    static final String ANONYMOUS = "anonymous";
+
+    @Bean
+    public AuditorAware<String> auditorAware(@Value("${app.audit.user-header:X-User}") String userHeader) {
+        return () -> {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes servletAttributes) {
+                String user = servletAttributes.getRequest().getHeader(userHeader);
+                if (user != null && !user.isBlank()) {
+                    return Optional.of(user);
+                }
+            }
+            return Optional.of(ANONYMOUS);
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package ru.uwurahara.todolistapplication.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceConfig {
+
+    private static final long MIN_CONNECTION_TIMEOUT_MS = 250;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        return primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                                      ReplicaDataSourceProperties replicaProperties) {
+        long connectionTimeoutMs = Math.max(MIN_CONNECTION_TIMEOUT_MS,
+                TimeUnit.SECONDS.toMillis(replicaProperties.getHealthCheckTimeoutSeconds()));
+
+        List<DataSource> replicas = new ArrayList<>();
+        List<ReplicaDataSourceProperties.Replica> replicaList = replicaProperties.getReplicas();
+        for (int i = 0; i < replicaList.size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = replicaList.get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            primary.copyStateTo(dataSource);
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1);
+            dataSource.setConnectionTimeout(connectionTimeoutMs);
+            dataSource.setValidationTimeout(Math.max(MIN_CONNECTION_TIMEOUT_MS, connectionTimeoutMs / 2));
+            replicas.add(dataSource);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getHealthCheckTimeoutSeconds());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaDataSourceProperties replicaProperties) {
+        ReplicaDataSourceProperties.ReadYourWrites readYourWrites = replicaProperties.getReadYourWrites();
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(
+                readYourWrites.getHeader(), readYourWrites.getCookie(), readYourWrites.getWindowSeconds()));
+        registration.setEnabled(!replicaProperties.getReplicas().isEmpty());
+        return registration;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    @Lazy(false)
+    public ReplicaHealthChecker replicaHealthChecker(ReplicaRoutingDataSource routingDataSource) {
+        return new ReplicaHealthChecker(routingDataSource);
+    }
+
+    public static class ReplicaHealthChecker {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+
+        public ReplicaHealthChecker(ReplicaRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${app.datasource.health-check-interval-ms:5000}")
+        public void checkReplicas() {
+            routingDataSource.checkReplicas();
+        }
+    }
+}
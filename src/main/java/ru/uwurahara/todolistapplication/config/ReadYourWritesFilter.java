@@ -0,0 +1,59 @@
+package ru.uwurahara.todolistapplication.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String header;
+    private final String cookie;
+    private final int windowSeconds;
+
+    public ReadYourWritesFilter(String header, String cookie, int windowSeconds) {
+        this.header = header;
+        this.cookie = cookie;
+        this.windowSeconds = windowSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        if (write && windowSeconds > 0) {
+            Cookie pin = new Cookie(cookie, "1");
+            pin.setMaxAge(windowSeconds);
+            pin.setPath("/");
+            pin.setHttpOnly(true);
+            response.addCookie(pin);
+        }
+
+        if (write || Boolean.parseBoolean(request.getHeader(header)) || hasCookie(request)) {
+            PrimaryReadContext.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReadContext.clear();
+        }
+    }
+
+    private boolean hasCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie c : cookies) {
+            if (cookie.equals(c.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
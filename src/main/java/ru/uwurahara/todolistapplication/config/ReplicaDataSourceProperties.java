@@ -0,0 +1,42 @@
+package ru.uwurahara.todolistapplication.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private int healthCheckTimeoutSeconds = 2;
+
+    private ReadYourWrites readYourWrites = new ReadYourWrites();
+
+    @Getter
+    @Setter
+    public static class ReadYourWrites {
+
+        private int windowSeconds = 10;
+
+        private String header = "X-Read-Primary";
+
+        private String cookie = "read-primary";
+    }
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+    }
+}
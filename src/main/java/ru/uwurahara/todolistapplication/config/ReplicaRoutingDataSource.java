@@ -0,0 +1,150 @@
+package ru.uwurahara.todolistapplication.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final boolean[] healthy;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final int healthCheckTimeoutSeconds;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, int healthCheckTimeoutSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.healthy = new boolean[replicas.size()];
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            healthy[i] = true;
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReadContext.isPinned()) {
+            return PRIMARY;
+        }
+        return nextHealthyReplica();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    @Override
+    public void destroy() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Не удалось закрыть пул реплики", e);
+                }
+            }
+        }
+    }
+
+    public void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            boolean alive;
+            try (Connection connection = replicas.get(i).getConnection()) {
+                alive = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                if (!isConnectionFailure(e)) {
+                    continue;
+                }
+                alive = false;
+            }
+            synchronized (healthy) {
+                if (healthy[i] != alive) {
+                    logger.info("Реплика #" + i + (alive ? " снова доступна" : " недоступна"));
+                }
+                healthy[i] = alive;
+            }
+        }
+    }
+
+    public boolean isHealthy(int index) {
+        synchronized (healthy) {
+            return healthy[index];
+        }
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return connector.connect(getResolvedDefaultDataSource());
+        }
+        int index = (Integer) key;
+        try {
+            return connector.connect(replicas.get(index));
+        } catch (SQLException e) {
+            if (isConnectionFailure(e)) {
+                markDown(index);
+                logger.warn("Реплика #" + index + " недоступна, чтение переключено на primary", e);
+            } else {
+                logger.debug("Пул реплики #" + index + " занят, чтение переключено на primary", e);
+            }
+            return connector.connect(getResolvedDefaultDataSource());
+        }
+    }
+
+    private static boolean isConnectionFailure(SQLException e) {
+        // Hikari reports an exhausted pool as SQLTransientConnectionException without a cause;
+        // a failed connection attempt is attached as the cause
+        return !(e instanceof SQLTransientConnectionException) || e.getCause() != null;
+    }
+
+    private Object nextHealthyReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        synchronized (healthy) {
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % size;
+                if (healthy[index]) {
+                    return index;
+                }
+            }
+        }
+        return PRIMARY;
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private void markDown(int index) {
+        synchronized (healthy) {
+            healthy[index] = false;
+        }
+    }
+}
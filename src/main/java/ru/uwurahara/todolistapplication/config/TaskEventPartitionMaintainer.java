@@ -0,0 +1,109 @@
+package ru.uwurahara.todolistapplication.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Lazy(false)
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "app.task-events.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskEventPartitionMaintainer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventPartitionMaintainer.class);
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String DEFAULT_PARTITION = "task_events_default";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+
+    public TaskEventPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        @Value("${app.task-events.partitioning.months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        createPartitions();
+    }
+
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void createPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        Set<YearMonth> months = new TreeSet<>(strandedMonths());
+        for (int i = 0; i <= monthsAhead; i++) {
+            months.add(current.plusMonths(i));
+        }
+        for (YearMonth month : months) {
+            try {
+                createPartition(month);
+            } catch (DataAccessException e) {
+                log.error("Не удалось создать партицию task_events за {}, записи попадут в {}", month, DEFAULT_PARTITION, e);
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = "task_events_" + month.format(SUFFIX);
+        String from = "'" + month.atDay(1) + " 00:00:00+00'";
+        String to = "'" + month.plusMonths(1).atDay(1) + " 00:00:00+00'";
+
+        if (partitionExists(partition)) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('task_events_partitions'))", Object.class);
+            if (partitionExists(partition)) {
+                return;
+            }
+            // blocks inserts into the default partition until ATTACH, otherwise a row for this month written after
+            // the move would make ATTACH fail on the default partition's implicit constraint
+            jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN SHARE ROW EXCLUSIVE MODE");
+            jdbcTemplate.execute("CREATE TABLE " + partition
+                    + " (LIKE task_events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE changed_at >= " + from + " AND changed_at < " + to + " RETURNING *)"
+                    + " INSERT INTO " + partition + " SELECT * FROM moved");
+            jdbcTemplate.execute("ALTER TABLE task_events ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+            log.info("Создана партиция {} (перенесено из {}: {})", partition, DEFAULT_PARTITION, moved);
+        });
+    }
+
+    private List<YearMonth> strandedMonths() {
+        // months that landed in the default partition while their partition was missing, e.g. the maintainer was down
+        try {
+            return jdbcTemplate.query("SELECT DISTINCT to_char(changed_at AT TIME ZONE 'UTC', 'YYYY-MM') FROM "
+                    + DEFAULT_PARTITION, (rs, rowNum) -> YearMonth.parse(rs.getString(1)));
+        } catch (DataAccessException e) {
+            log.error("Не удалось проверить записи в {}", DEFAULT_PARTITION, e);
+            return List.of();
+        }
+    }
+
+    private boolean partitionExists(String partition) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition));
+    }
+}
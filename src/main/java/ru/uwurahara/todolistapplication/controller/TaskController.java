@@ -40,4 +40,12 @@ public class TaskController {
 
         return ResponseEntity.ok(taskService.findAll(filterByStatus, sortBy, sortDirection));
     }
+
+    @GetMapping("/history")
+    public ResponseEntity<Object> history(@RequestParam int id,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") int size){
+
+        return ResponseEntity.ok(taskService.findHistory(id, cursor, size));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.uwurahara.todolistapplication.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class TaskEventPageDto {
+    private final List<TaskEventResponseDto> events;
+
+    private final int size;
+
+    private final String nextCursor;
+}
@@ -0,0 +1,33 @@
+package ru.uwurahara.todolistapplication.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.enumerations.TaskEventType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class TaskEventResponseDto {
+    private final long id;
+
+    private final int taskId;
+
+    private final TaskEventType type;
+
+    private final String title;
+
+    private final String description;
+
+    @JsonFormat(pattern = "dd.MM.yyyy")
+    private final LocalDate deadline;
+
+    private final Status status;
+
+    private final String changedBy;
+
+    private final Instant changedAt;
+}
@@ -0,0 +1,7 @@
+package ru.uwurahara.todolistapplication.enumerations;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
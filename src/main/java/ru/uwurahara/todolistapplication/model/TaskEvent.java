@@ -0,0 +1,66 @@
+package ru.uwurahara.todolistapplication.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.enumerations.TaskEventType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity
+@Immutable
+@Table(name = "task_events", indexes = @Index(name = "idx_task_events_task_id_changed_at", columnList = "task_id, changed_at"))
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@NoArgsConstructor
+public class TaskEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_events_seq")
+    @SequenceGenerator(name = "task_events_seq", sequenceName = "task_events_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false)
+    private long id;
+
+    @Column(name = "task_id", nullable = false)
+    private int taskId;
+
+    @Column(name = "type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TaskEventType type;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "deadline", nullable = false)
+    private LocalDate deadline;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    @CreatedBy
+    @Column(name = "changed_by", nullable = false)
+    private String changedBy;
+
+    @CreatedDate
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public TaskEvent(Task task, TaskEventType type) {
+        this.taskId = task.getId();
+        this.type = type;
+        this.title = task.getTitle();
+        this.description = task.getDescription();
+        this.deadline = task.getDeadline();
+        this.status = task.getStatus();
+    }
+}
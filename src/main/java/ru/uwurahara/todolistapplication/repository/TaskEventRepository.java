@@ -0,0 +1,25 @@
+package ru.uwurahara.todolistapplication.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import ru.uwurahara.todolistapplication.model.TaskEvent;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    List<TaskEvent> findByTaskIdOrderByChangedAtDescIdDesc(int taskId, Limit limit);
+
+    @Query("select e from TaskEvent e where e.taskId = :taskId"
+            + " and (e.changedAt < :before or (e.changedAt = :before and e.id < :beforeId))"
+            + " order by e.changedAt desc, e.id desc")
+    List<TaskEvent> findHistoryBefore(@Param("taskId") int taskId,
+                                      @Param("before") Instant before,
+                                      @Param("beforeId") long beforeId,
+                                      Limit limit);
+}
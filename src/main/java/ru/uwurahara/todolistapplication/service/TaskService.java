@@ -1,5 +1,6 @@
 package ru.uwurahara.todolistapplication.service;
 
+import ru.uwurahara.todolistapplication.dto.TaskEventPageDto;
 import ru.uwurahara.todolistapplication.dto.TaskRequestDto;
 import ru.uwurahara.todolistapplication.dto.TaskResponseDto;
 import ru.uwurahara.todolistapplication.enumerations.SortBy;
@@ -17,4 +18,6 @@ public interface TaskService {
     void delete(int id);
 
     List<TaskResponseDto> findAll(Status filterByStatus, SortBy sortBy, SortDirection sortDirection);
+
+    TaskEventPageDto findHistory(int id, String cursor, int size);
 }
@@ -1,26 +1,49 @@
 package ru.uwurahara.todolistapplication.service;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.uwurahara.todolistapplication.dto.TaskEventPageDto;
+import ru.uwurahara.todolistapplication.dto.TaskEventResponseDto;
 import ru.uwurahara.todolistapplication.dto.TaskRequestDto;
 import ru.uwurahara.todolistapplication.dto.TaskResponseDto;
 import ru.uwurahara.todolistapplication.enumerations.SortBy;
 import ru.uwurahara.todolistapplication.enumerations.SortDirection;
 import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.enumerations.TaskEventType;
 import ru.uwurahara.todolistapplication.model.Task;
+import ru.uwurahara.todolistapplication.model.TaskEvent;
+import ru.uwurahara.todolistapplication.repository.TaskEventRepository;
 import ru.uwurahara.todolistapplication.repository.TaskRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class TaskServiceImpl implements TaskService{
+    private static final int[] STATUS_RANK = new int[Status.values().length];
+
+    static {
+        STATUS_RANK[Status.TODO.ordinal()] = 1;
+        STATUS_RANK[Status.IN_PROGRESS.ordinal()] = 2;
+        STATUS_RANK[Status.DONE.ordinal()] = 3;
+    }
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     public final TaskRepository taskRepository;
+    public final TaskEventRepository taskEventRepository;
 
-    public TaskServiceImpl(TaskRepository taskRepository) { this.taskRepository = taskRepository; }
+    public TaskServiceImpl(TaskRepository taskRepository, TaskEventRepository taskEventRepository) {
+        this.taskRepository = taskRepository;
+        this.taskEventRepository = taskEventRepository;
+    }
 
     @Override
     @Transactional
@@ -37,6 +60,7 @@ public class TaskServiceImpl implements TaskService{
 
         Task task = new Task(taskRequestDto.getTitle(), taskRequestDto.getDescription(), taskRequestDto.getDeadline());
         task = taskRepository.save(task);
+        taskEventRepository.save(new TaskEvent(task, TaskEventType.CREATED));
 
         return new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getStatus());
     }
@@ -63,6 +87,7 @@ public class TaskServiceImpl implements TaskService{
         task.setStatus(updatedRecordData.getStatus());
 
         task = taskRepository.save(task);
+        taskEventRepository.save(new TaskEvent(task, TaskEventType.UPDATED));
 
         return new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getStatus());
     }
@@ -70,12 +95,13 @@ public class TaskServiceImpl implements TaskService{
     @Override
     @Transactional
     public void delete(int id){
-        taskRepository.findById(id).orElseThrow();
+        Task task = taskRepository.findById(id).orElseThrow();
+        taskEventRepository.save(new TaskEvent(task, TaskEventType.DELETED));
         taskRepository.deleteById(id);
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<TaskResponseDto> findAll(Status filterByStatus, SortBy sortBy, SortDirection sortDirection){
         List<Task> tasks;
 
@@ -85,46 +111,81 @@ public class TaskServiceImpl implements TaskService{
             tasks = taskRepository.findAll();
         }
 
-        List<TaskResponseDto> tasksDto = tasks.stream()
-                .map(task -> new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getStatus()))
-                .collect(Collectors.toList());
-
-        if (sortBy == null){ return tasksDto; }
-        switch (sortBy) {
-            case STATUS:
-                switch (sortDirection) {
-                    case ASC:
-                        Map<Status, Integer> statusOrderAsc = Map.of(
-                                Status.TODO, 1,
-                                Status.IN_PROGRESS, 2,
-                                Status.DONE, 3
-                        );
-                        tasksDto.sort(Comparator.comparing(o -> statusOrderAsc.get(o.getStatus())));
-                        break;
-                    case DESC:
-                        Map<Status, Integer> statusOrderDesc = Map.of(
-                                Status.TODO, 3,
-                                Status.IN_PROGRESS, 2,
-                                Status.DONE, 1
-                        );
-                        tasksDto.sort(Comparator.comparing(o -> statusOrderDesc.get(o.getStatus())));
-                        break;
-                }
-                break;
-            case DEADLINE:
-                switch (sortDirection) {
-                    case ASC:
-                        tasksDto.sort(Comparator.comparing(TaskResponseDto::getDeadline));
-                        break;
-                    case DESC:
-                        tasksDto.sort(Comparator.comparing(TaskResponseDto::getDeadline).reversed());
-                        break;
-                }
-                break;
-            default:
-                break;
+        int size = tasks.size();
+        List<TaskResponseDto> tasksDto = new ArrayList<>(size);
+
+        if (sortBy == null){
+            for (Task task : tasks) {
+                tasksDto.add(toDto(task));
+            }
+            return tasksDto;
+        }
+
+        boolean descending = sortDirection == SortDirection.DESC;
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            Task task = tasks.get(i);
+            int key = switch (sortBy) {
+                case STATUS -> STATUS_RANK[task.getStatus().ordinal()];
+                case DEADLINE -> Math.toIntExact(task.getDeadline().toEpochDay());
+            };
+            keys[i] = ((long) (descending ? -key : key) << 32) | i;
         }
+        Arrays.sort(keys);
 
+        for (long key : keys) {
+            tasksDto.add(toDto(tasks.get((int) key)));
+        }
         return tasksDto;
     }
+
+    @Override
+    @Transactional
+    public TaskEventPageDto findHistory(int id, String cursor, int size){
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Некорректные параметры страницы истории");
+        }
+
+        // one extra row tells whether there is a next page
+        Limit limit = Limit.of(size + 1);
+        List<TaskEvent> events;
+        if (cursor == null || cursor.isEmpty()) {
+            events = taskEventRepository.findByTaskIdOrderByChangedAtDescIdDesc(id, limit);
+        } else {
+            Instant before;
+            long beforeId;
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+                before = Instant.parse(position[0]);
+                beforeId = Long.parseLong(position[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Некорректный курсор истории");
+            }
+            events = taskEventRepository.findHistoryBefore(id, before, beforeId, limit);
+        }
+
+        int count = Math.min(events.size(), size);
+        List<TaskEventResponseDto> history = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TaskEvent event = events.get(i);
+            history.add(new TaskEventResponseDto(event.getId(), event.getTaskId(), event.getType(), event.getTitle(),
+                    event.getDescription(), event.getDeadline(), event.getStatus(), event.getChangedBy(), event.getChangedAt()));
+        }
+
+        String nextCursor = null;
+        if (events.size() > size) {
+            TaskEvent last = events.get(size - 1);
+            nextCursor = encodeCursor(last.getChangedAt(), last.getId());
+        }
+        return new TaskEventPageDto(history, size, nextCursor);
+    }
+
+    private static String encodeCursor(Instant changedAt, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((changedAt + "," + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TaskResponseDto toDto(Task task) {
+        return new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getStatus());
+    }
 }
@@ -0,0 +1,34 @@
+CREATE SEQUENCE IF NOT EXISTS task_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS task_events (
+    id          BIGINT       NOT NULL,
+    task_id     INTEGER      NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    title       VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    deadline    DATE         NOT NULL,
+    status      VARCHAR(255) NOT NULL,
+    changed_by  VARCHAR(255) NOT NULL,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, changed_at)
+) PARTITION BY RANGE (changed_at);
+
+CREATE INDEX IF NOT EXISTS idx_task_events_task_id_changed_at ON task_events (task_id, changed_at);
+
+-- Catches rows outside the monthly partitions so writes never fail for lack of a partition;
+-- TaskEventPartitionMaintainer moves such rows out when it creates the matching month
+CREATE TABLE IF NOT EXISTS task_events_default PARTITION OF task_events DEFAULT;
+
+DO $$
+DECLARE
+    month_start    TIMESTAMPTZ := date_trunc('month', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+    month_end      TIMESTAMPTZ := month_start + INTERVAL '1 month';
+    partition_name TEXT        := 'task_events_' || to_char(month_start AT TIME ZONE 'UTC', 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL AND NOT EXISTS (
+            SELECT 1 FROM task_events_default WHERE changed_at >= month_start AND changed_at < month_end) THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF task_events FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, month_start, month_end);
+    END IF;
+END
+$$;
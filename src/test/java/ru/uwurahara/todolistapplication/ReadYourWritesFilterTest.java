@@ -0,0 +1,81 @@
+package ru.uwurahara.todolistapplication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.uwurahara.todolistapplication.config.PrimaryReadContext;
+import ru.uwurahara.todolistapplication.config.ReadYourWritesFilter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter("X-Read-Primary", "read-primary", 10);
+
+    @Test
+    void doFilter_shouldPinWriteAndSetCookie() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean pinned = filter(request, response);
+
+        // Then
+        assertTrue(pinned);
+        Cookie cookie = response.getCookie("read-primary");
+        assertNotNull(cookie);
+        assertEquals(10, cookie.getMaxAge());
+        assertFalse(PrimaryReadContext.isPinned());
+    }
+
+    @Test
+    void doFilter_shouldPinReadWithCookie() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.setCookies(new Cookie("read-primary", "1"));
+
+        // When
+        boolean pinned = filter(request, new MockHttpServletResponse());
+
+        // Then
+        assertTrue(pinned);
+    }
+
+    @Test
+    void doFilter_shouldPinReadWithHeader() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("X-Read-Primary", "true");
+
+        // When
+        boolean pinned = filter(request, new MockHttpServletResponse());
+
+        // Then
+        assertTrue(pinned);
+    }
+
+    @Test
+    void doFilter_shouldNotPinPlainRead() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean pinned = filter(request, response);
+
+        // Then
+        assertFalse(pinned);
+        assertNull(response.getCookie("read-primary"));
+    }
+
+    private boolean filter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        FilterChain chain = (req, res) -> pinned.set(PrimaryReadContext.isPinned());
+        filter.doFilter(request, response, chain);
+        return pinned.get();
+    }
+}
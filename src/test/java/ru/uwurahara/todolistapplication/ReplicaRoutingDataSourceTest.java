@@ -0,0 +1,198 @@
+package ru.uwurahara.todolistapplication;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.uwurahara.todolistapplication.config.PrimaryReadContext;
+import ru.uwurahara.todolistapplication.config.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica1 = mock(DataSource.class);
+    private final DataSource replica2 = mock(DataSource.class);
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replica1Connection = mock(Connection.class);
+    private final Connection replica2Connection = mock(Connection.class);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        PrimaryReadContext.clear();
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForWrites() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 1);
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, result);
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_shouldBalanceReadsBetweenReplicas() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Then
+        assertSame(replica1Connection, first);
+        assertSame(replica2Connection, second);
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForReadsWhenNoReplicas() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, result);
+    }
+
+    @Test
+    void getConnection_shouldFailOverToPrimaryWhenReplicaIsDown() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, result);
+        assertFalse(dataSource.isHealthy(0));
+    }
+
+    @Test
+    void getConnection_shouldKeepReplicaInRotationWhenItsPoolIsExhausted() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, result);
+        assertTrue(dataSource.isHealthy(0));
+    }
+
+    @Test
+    void getConnection_shouldMarkReplicaDownWhenPoolTimesOutOnFailedConnect() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenThrow(
+                new SQLTransientConnectionException("Connection is not available", new SQLException("connection refused")));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        dataSource.getConnection();
+
+        // Then
+        assertFalse(dataSource.isHealthy(0));
+    }
+
+    @Test
+    void getConnectionWithCredentials_shouldRouteReadsToReplica() throws SQLException {
+        // Given
+        when(replica1.getConnection("user", "secret")).thenReturn(replica1Connection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        Connection result = dataSource.getConnection("user", "secret");
+
+        // Then
+        assertSame(replica1Connection, result);
+        verify(primary, never()).getConnection(anyString(), anyString());
+    }
+
+    @Test
+    void checkReplicas_shouldSkipUnhealthyReplicaAndRestoreIt() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenReturn(replica1Connection);
+        when(replica2.getConnection()).thenReturn(replica2Connection);
+        when(replica1Connection.isValid(anyInt())).thenReturn(false);
+        when(replica2Connection.isValid(anyInt())).thenReturn(true);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1, replica2), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        dataSource.checkReplicas();
+
+        // Then
+        assertFalse(dataSource.isHealthy(0));
+        assertSame(replica2Connection, dataSource.getConnection());
+        assertSame(replica2Connection, dataSource.getConnection());
+
+        // When
+        when(replica1Connection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkReplicas();
+
+        // Then
+        assertTrue(dataSource.isHealthy(0));
+    }
+
+    @Test
+    void getConnection_shouldUsePrimaryForPinnedReads() throws SQLException {
+        // Given
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica1), 1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        PrimaryReadContext.pin();
+
+        // When
+        Connection result = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnection, result);
+        verify(replica1, never()).getConnection();
+    }
+
+    @Test
+    void destroy_shouldCloseReplicaPools() {
+        // Given
+        HikariDataSource replica = mock(HikariDataSource.class);
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 1);
+
+        // When
+        dataSource.destroy();
+
+        // Then
+        verify(replica).close();
+    }
+}
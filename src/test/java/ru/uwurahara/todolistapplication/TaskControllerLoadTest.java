@@ -0,0 +1,365 @@
+package ru.uwurahara.todolistapplication;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import ru.uwurahara.todolistapplication.enumerations.SortBy;
+import ru.uwurahara.todolistapplication.enumerations.SortDirection;
+import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.model.Task;
+import ru.uwurahara.todolistapplication.repository.TaskEventRepository;
+import ru.uwurahara.todolistapplication.repository.TaskRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TaskControllerLoadTest {
+
+    enum Operation { CREATE, UPDATE, DELETE, LIST }
+
+    private static final String CONFIG_PREFIX = "config.";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final Status[] STATUSES = Status.values();
+    private static final SortBy[] SORT_BY = SortBy.values();
+    private static final SortDirection[] SORT_DIRECTIONS = SortDirection.values();
+    private static final Pattern CREATED_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final int rows = Integer.getInteger("loadtest.rows", 10_000);
+    private final int threads = Integer.getInteger("loadtest.threads", 8);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private final int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+    private final String mix = System.getProperty("loadtest.mix", "create=10,update=10,delete=5,list=75");
+    private final double tolerance = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+    private final boolean updateBaseline = Boolean.getBoolean("loadtest.updateBaseline");
+    private final Path baselineFile = Path.of(System.getProperty("loadtest.baseline", "build/loadtest-baseline.properties"));
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+
+    @LocalServerPort
+    private int port;
+
+    private Operation[] schedule;
+    private int[] updateIds;
+    private final Queue<Integer> deleteIds = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void mixedWorkload_shouldNotRegressAgainstBaseline() throws Exception {
+        schedule = buildSchedule(mix);
+        assertTrue(updateBaseline || Files.exists(baselineFile),
+                "Нет baseline " + baselineFile + ", запишите его с -Ploadtest.updateBaseline=true");
+
+        seed();
+        run(warmupSeconds);
+
+        seed();
+        Result result = run(durationSeconds);
+
+        Properties measured = result.toProperties();
+        measured.putAll(config());
+        System.out.println(result.report());
+
+        if (updateBaseline) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(baselineFile)) {
+                measured.store(out, "TaskController load test baseline");
+            }
+            System.out.println("Baseline written to " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(baselineFile)) {
+            baseline.load(in);
+        }
+
+        for (String key : config().stringPropertyNames()) {
+            assertEquals(baseline.getProperty(key), measured.getProperty(key),
+                    "Параметры прогона не совпадают с baseline " + baselineFile + ": " + key);
+        }
+
+        List<String> regressions = compare(baseline, measured);
+        assertTrue(regressions.isEmpty(), "Регрессия относительно " + baselineFile + ":\n" + String.join("\n", regressions));
+    }
+
+    private Properties config() {
+        Properties config = new Properties();
+        config.setProperty(CONFIG_PREFIX + "rows", String.valueOf(rows));
+        config.setProperty(CONFIG_PREFIX + "threads", String.valueOf(threads));
+        config.setProperty(CONFIG_PREFIX + "durationSeconds", String.valueOf(durationSeconds));
+        config.setProperty(CONFIG_PREFIX + "mix", mix.replace(" ", ""));
+        return config;
+    }
+
+    private void seed() {
+        taskEventRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        List<Task> tasks = new ArrayList<>(rows);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < rows; i++) {
+            Task task = new Task("Task " + i, "Description " + i, LocalDate.now().plusDays(random.nextInt(1, 365)));
+            task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            tasks.add(task);
+        }
+        int[] ids = taskRepository.saveAll(tasks).stream().mapToInt(Task::getId).toArray();
+
+        long updates = Arrays.stream(schedule).filter(o -> o == Operation.UPDATE).count();
+        long deletes = Arrays.stream(schedule).filter(o -> o == Operation.DELETE).count();
+        int split = updates + deletes == 0 ? ids.length : (int) (ids.length * updates / (updates + deletes));
+        split = Math.max(split, Math.min(1, ids.length));
+
+        updateIds = Arrays.copyOfRange(ids, 0, split);
+        deleteIds.clear();
+        for (int i = split; i < ids.length; i++) {
+            deleteIds.add(ids[i]);
+        }
+    }
+
+    private Result run(int seconds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            long start = System.nanoTime();
+
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> worker(deadline)));
+            }
+
+            Recorder total = new Recorder();
+            for (Future<Recorder> future : futures) {
+                total.merge(future.get());
+            }
+            return new Result(total, (System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Recorder worker(long deadline) throws IOException, InterruptedException {
+        Recorder recorder = new Recorder();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            Operation operation = schedule[random.nextInt(schedule.length)];
+            HttpRequest request = request(operation, random);
+
+            long begin = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - begin;
+
+            assertEquals(200, response.statusCode(), operation + " " + request.uri());
+            recorder.record(operation, elapsed);
+
+            if (operation == Operation.CREATE) {
+                Matcher id = CREATED_ID.matcher(response.body());
+                assertTrue(id.find(), "Нет id в ответе на CREATE: " + response.body());
+                deleteIds.add(Integer.parseInt(id.group(1)));
+            }
+        }
+        return recorder;
+    }
+
+    private HttpRequest request(Operation operation, ThreadLocalRandom random) {
+        String base = "http://localhost:" + port + "/tasks";
+        switch (operation) {
+            case CREATE:
+                return HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body(random)))
+                        .build();
+            case UPDATE:
+                int updateId = updateIds[random.nextInt(updateIds.length)];
+                return HttpRequest.newBuilder(URI.create(base + "?id=" + updateId))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body(random)))
+                        .build();
+            case DELETE:
+                Integer deleteId = deleteIds.poll();
+                if (deleteId == null) {
+                    // outside the timed call: on fast hardware DELETE outruns the seeded rows and CREATE
+                    deleteId = taskRepository.save(new Task("Refill", null, LocalDate.now().plusDays(1))).getId();
+                }
+                return HttpRequest.newBuilder(URI.create(base + "?id=" + deleteId)).DELETE().build();
+            case LIST:
+                return HttpRequest.newBuilder(URI.create(base
+                        + "?filterByStatus=" + STATUSES[random.nextInt(STATUSES.length)]
+                        + "&sortBy=" + SORT_BY[random.nextInt(SORT_BY.length)]
+                        + "&sortDirection=" + SORT_DIRECTIONS[random.nextInt(SORT_DIRECTIONS.length)]))
+                        .GET()
+                        .build();
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    private static String body(ThreadLocalRandom random) {
+        return "{\"title\":\"Load " + random.nextInt() + "\","
+                + "\"description\":\"generated\","
+                + "\"deadline\":\"" + LocalDate.now().plusDays(random.nextInt(1, 365)).format(DATE_FORMAT) + "\","
+                + "\"status\":\"" + STATUSES[random.nextInt(STATUSES.length)] + "\"}";
+    }
+
+    private static Operation[] buildSchedule(String mix) {
+        List<Operation> schedule = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.trim().split("=");
+            Operation operation = Operation.valueOf(weight[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(weight[1].trim()); i > 0; i--) {
+                schedule.add(operation);
+            }
+        }
+        if (schedule.isEmpty()) {
+            throw new IllegalArgumentException("Пустой loadtest.mix: " + mix);
+        }
+        return schedule.toArray(new Operation[0]);
+    }
+
+    private List<String> compare(Properties baseline, Properties measured) {
+        List<String> regressions = new ArrayList<>();
+        for (String key : measured.stringPropertyNames()) {
+            if (!key.startsWith(CONFIG_PREFIX) && !baseline.containsKey(key)) {
+                regressions.add(key + ": нет в baseline");
+            }
+        }
+        for (String key : baseline.stringPropertyNames()) {
+            if (key.startsWith(CONFIG_PREFIX)) {
+                continue;
+            }
+            if (!measured.containsKey(key)) {
+                regressions.add(key + ": нет в текущем прогоне");
+                continue;
+            }
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double actual = Double.parseDouble(measured.getProperty(key));
+            boolean higherIsBetter = key.endsWith(".throughput");
+            boolean regressed = higherIsBetter
+                    ? actual < expected * (1 - tolerance)
+                    : actual > expected * (1 + tolerance);
+            if (regressed) {
+                regressions.add(String.format("%s: baseline %.2f, measured %.2f", key, expected, actual));
+            }
+        }
+        return regressions;
+    }
+
+    static class Recorder {
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos) {
+            long[] values = latencies.computeIfAbsent(operation, o -> new long[1024]);
+            int count = counts.getOrDefault(operation, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+        }
+
+        void merge(Recorder other) {
+            for (Operation operation : other.counts.keySet()) {
+                long[] values = other.latencies.get(operation);
+                for (int i = 0; i < other.counts.get(operation); i++) {
+                    record(operation, values[i]);
+                }
+            }
+        }
+
+        long[] sorted(Operation operation) {
+            long[] values = Arrays.copyOf(latencies.getOrDefault(operation, new long[0]), counts.getOrDefault(operation, 0));
+            Arrays.sort(values);
+            return values;
+        }
+    }
+
+    static class Result {
+        private final Recorder recorder;
+        private final double seconds;
+
+        Result(Recorder recorder, double seconds) {
+            this.recorder = recorder;
+            this.seconds = seconds;
+        }
+
+        Properties toProperties() {
+            Properties properties = new Properties();
+            long total = 0;
+            for (Operation operation : Operation.values()) {
+                long[] values = recorder.sorted(operation);
+                if (values.length == 0) {
+                    continue;
+                }
+                total += values.length;
+                String prefix = operation.name().toLowerCase();
+                properties.setProperty(prefix + ".throughput", format(values.length / seconds));
+                properties.setProperty(prefix + ".p50Ms", format(percentile(values, 0.50)));
+                properties.setProperty(prefix + ".p95Ms", format(percentile(values, 0.95)));
+                properties.setProperty(prefix + ".p99Ms", format(percentile(values, 0.99)));
+            }
+            properties.setProperty("total.throughput", format(total / seconds));
+            return properties;
+        }
+
+        String report() {
+            StringBuilder report = new StringBuilder(String.format("%-8s %10s %10s %10s %10s %10s%n",
+                    "op", "count", "ops/s", "p50 ms", "p95 ms", "p99 ms"));
+            for (Operation operation : Operation.values()) {
+                long[] values = recorder.sorted(operation);
+                if (values.length == 0) {
+                    continue;
+                }
+                report.append(String.format("%-8s %10d %10.1f %10.2f %10.2f %10.2f%n", operation, values.length,
+                        values.length / seconds, percentile(values, 0.50), percentile(values, 0.95), percentile(values, 0.99)));
+            }
+            return report.toString();
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package ru.uwurahara.todolistapplication;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.uwurahara.todolistapplication.dto.TaskResponseDto;
+import ru.uwurahara.todolistapplication.enumerations.SortBy;
+import ru.uwurahara.todolistapplication.enumerations.SortDirection;
+import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.model.Task;
+import ru.uwurahara.todolistapplication.repository.TaskEventRepository;
+import ru.uwurahara.todolistapplication.repository.TaskRepository;
+import ru.uwurahara.todolistapplication.service.TaskService;
+import ru.uwurahara.todolistapplication.service.TaskServiceImpl;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Tag("benchmark")
+public class TaskServiceImplBenchmark {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void findAll_shouldAllocateLessThanStreamAndComparatorPath() {
+        List<Task> tasks = seed();
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.findAll()).thenReturn(tasks);
+        TaskService taskService = new TaskServiceImpl(taskRepository, mock(TaskEventRepository.class));
+
+        System.out.printf("%d rows, %d iterations%n", ROWS, ITERATIONS);
+        System.out.printf("%-10s %-5s %-8s %14s %10s %8s %10s%n", "sortBy", "dir", "path", "MB/call", "ms/call", "GCs", "GC ms");
+        for (SortBy sortBy : SortBy.values()) {
+            for (SortDirection direction : SortDirection.values()) {
+                double[] legacy = measure(() -> legacyFindAll(tasks, sortBy, direction));
+                double[] current = measure(() -> taskService.findAll(null, sortBy, direction));
+                print(sortBy, direction, "legacy", legacy);
+                print(sortBy, direction, "current", current);
+
+                assertTrue(current[0] < legacy[0], sortBy + " " + direction);
+                assertEquals(titles(legacyFindAll(tasks, sortBy, direction)), titles(taskService.findAll(null, sortBy, direction)));
+            }
+        }
+    }
+
+    private double[] measure(Runnable call) {
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        System.gc();
+        long threadId = Thread.currentThread().threadId();
+        long[] gc = gcTotals();
+        long bytes = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        bytes = threadBean.getThreadAllocatedBytes(threadId) - bytes;
+        long[] gcAfter = gcTotals();
+        return new double[] { bytes / 1_048_576.0 / ITERATIONS, elapsed / 1_000_000.0 / ITERATIONS,
+                gcAfter[0] - gc[0], gcAfter[1] - gc[1] };
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(bean.getCollectionCount(), 0);
+            millis += Math.max(bean.getCollectionTime(), 0);
+        }
+        return new long[] { count, millis };
+    }
+
+    private static void print(SortBy sortBy, SortDirection direction, String path, double[] result) {
+        System.out.printf("%-10s %-5s %-8s %14.1f %10.1f %8.0f %10.0f%n",
+                sortBy, direction, path, result[0], result[1], result[2], result[3]);
+    }
+
+    private static List<Task> seed() {
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        List<Task> tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Task task = new Task("Task " + i, null, LocalDate.now().plusDays(random.nextInt(3650)));
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static List<String> titles(List<TaskResponseDto> tasks) {
+        return tasks.stream().map(TaskResponseDto::getTitle).collect(Collectors.toList());
+    }
+
+    private static List<TaskResponseDto> legacyFindAll(List<Task> tasks, SortBy sortBy, SortDirection sortDirection) {
+        List<TaskResponseDto> tasksDto = tasks.stream()
+                .map(task -> new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getDeadline(), task.getStatus()))
+                .collect(Collectors.toList());
+
+        if (sortBy == SortBy.STATUS) {
+            Map<Status, Integer> statusOrder = sortDirection == SortDirection.ASC
+                    ? Map.of(Status.TODO, 1, Status.IN_PROGRESS, 2, Status.DONE, 3)
+                    : Map.of(Status.TODO, 3, Status.IN_PROGRESS, 2, Status.DONE, 1);
+            tasksDto.sort(Comparator.comparing(o -> statusOrder.get(o.getStatus())));
+        } else if (sortDirection == SortDirection.ASC) {
+            tasksDto.sort(Comparator.comparing(TaskResponseDto::getDeadline));
+        } else {
+            tasksDto.sort(Comparator.comparing(TaskResponseDto::getDeadline).reversed());
+        }
+        return tasksDto;
+    }
+}
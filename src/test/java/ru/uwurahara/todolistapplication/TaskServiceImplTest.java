@@ -2,17 +2,26 @@ package ru.uwurahara.todolistapplication;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.uwurahara.todolistapplication.dto.TaskEventPageDto;
+import ru.uwurahara.todolistapplication.dto.TaskEventResponseDto;
 import ru.uwurahara.todolistapplication.dto.TaskRequestDto;
 import ru.uwurahara.todolistapplication.dto.TaskResponseDto;
 import ru.uwurahara.todolistapplication.model.Task;
+import ru.uwurahara.todolistapplication.model.TaskEvent;
+import ru.uwurahara.todolistapplication.repository.TaskEventRepository;
 import ru.uwurahara.todolistapplication.repository.TaskRepository;
 import ru.uwurahara.todolistapplication.service.TaskService;
 import ru.uwurahara.todolistapplication.service.TaskServiceImpl;
 import ru.uwurahara.todolistapplication.enumerations.SortBy;
 import ru.uwurahara.todolistapplication.enumerations.SortDirection;
 import ru.uwurahara.todolistapplication.enumerations.Status;
+import ru.uwurahara.todolistapplication.enumerations.TaskEventType;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -25,7 +34,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class TaskServiceImplTest {
     private final TaskRepository taskRepository = mock(TaskRepository.class);
-    private final TaskService taskService = new TaskServiceImpl(taskRepository);
+    private final TaskEventRepository taskEventRepository = mock(TaskEventRepository.class);
+    private final TaskService taskService = new TaskServiceImpl(taskRepository, taskEventRepository);
 
     @Test
     void create_shouldSuccessfullyCreateTask() {
@@ -58,6 +68,7 @@ public class TaskServiceImplTest {
         assertEquals(requestDto.getStatus(), result.getStatus());
 
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskEventRepository, times(1)).save(any(TaskEvent.class));
     }
 
     @Test
@@ -200,6 +211,36 @@ public class TaskServiceImplTest {
         verify(taskRepository, times(1)).save(existingTask);
     }
 
+    @Test
+    void update_shouldAppendUpdatedEvent() {
+        // Given
+        int taskId = 1;
+        TaskRequestDto requestDto = new TaskRequestDto(
+                "Updated title",
+                "Updated description",
+                LocalDate.now().plusDays(1),
+                Status.DONE
+        );
+
+        Task existingTask = new Task("Old title", "Old description", LocalDate.now().plusDays(2));
+
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(existingTask));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        taskService.update(taskId, requestDto);
+
+        // Then
+        ArgumentCaptor<TaskEvent> captor = ArgumentCaptor.forClass(TaskEvent.class);
+        verify(taskEventRepository, times(1)).save(captor.capture());
+        TaskEvent event = captor.getValue();
+        assertEquals(TaskEventType.UPDATED, event.getType());
+        assertEquals("Updated title", event.getTitle());
+        assertEquals("Updated description", event.getDescription());
+        assertEquals(requestDto.getDeadline(), event.getDeadline());
+        assertEquals(Status.DONE, event.getStatus());
+    }
+
     @Test
     void update_shouldThrowExceptionWhenTaskNotFound() {
         // Given
@@ -216,6 +257,7 @@ public class TaskServiceImplTest {
         // When & Then
         assertThrows(NoSuchElementException.class, () -> taskService.update(nonExistentId, requestDto));
         verify(taskRepository, never()).save(any());
+        verify(taskEventRepository, never()).save(any());
     }
 
     @Test
@@ -296,6 +338,7 @@ public class TaskServiceImplTest {
         // Then
         verify(taskRepository, times(1)).findById(taskId);
         verify(taskRepository, times(1)).deleteById(taskId);
+        verify(taskEventRepository, times(1)).save(any(TaskEvent.class));
     }
 
     @Test
@@ -382,6 +425,42 @@ public class TaskServiceImplTest {
         assertEquals("Task A", result.get(2).getTitle()); // Latest deadline
     }
 
+    @Test
+    void findAll_shouldSortByStatusDescKeepingOrderOfEqualStatuses() {
+        // Given
+        Task task4 = new Task("Task D", "Desc D", LocalDate.now().plusDays(4));
+        task1.setStatus(Status.IN_PROGRESS);
+        task2.setStatus(Status.DONE);
+        task3.setStatus(Status.IN_PROGRESS);
+        task4.setStatus(Status.TODO);
+        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2, task3, task4));
+
+        // When
+        List<TaskResponseDto> result = taskService.findAll(null, SortBy.STATUS, SortDirection.DESC);
+
+        // Then
+        assertEquals(4, result.size());
+        assertEquals("Task B", result.get(0).getTitle()); // DONE
+        assertEquals("Task A", result.get(1).getTitle()); // IN_PROGRESS, original order kept
+        assertEquals("Task C", result.get(2).getTitle());
+        assertEquals("Task D", result.get(3).getTitle()); // TODO
+    }
+
+    @Test
+    void findAll_shouldSortByDeadlineDesc() {
+        // Given
+        when(taskRepository.findAll()).thenReturn(Arrays.asList(task1, task2, task3));
+
+        // When
+        List<TaskResponseDto> result = taskService.findAll(null, SortBy.DEADLINE, SortDirection.DESC);
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals("Task A", result.get(0).getTitle()); // Latest deadline
+        assertEquals("Task C", result.get(1).getTitle());
+        assertEquals("Task B", result.get(2).getTitle()); // Earliest deadline
+    }
+
     @Test
     void findAll_shouldCombineFilterAndSort() {
         // Given
@@ -412,4 +491,63 @@ public class TaskServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+// ---------------------------------------------------------------------------------------------------------------------
+    @Test
+    void findHistory_shouldReturnFirstPageAndCursorToTheNextOne() {
+        // Given
+        TaskEvent deleted = event(TaskEventType.DELETED, 3, "2026-10-19T10:00:02Z");
+        TaskEvent updated = event(TaskEventType.UPDATED, 2, "2026-10-19T10:00:01Z");
+        TaskEvent created = event(TaskEventType.CREATED, 1, "2026-10-19T10:00:00Z");
+        when(taskEventRepository.findByTaskIdOrderByChangedAtDescIdDesc(1, Limit.of(3)))
+                .thenReturn(List.of(deleted, updated, created));
+        when(taskEventRepository.findHistoryBefore(1, Instant.parse("2026-10-19T10:00:01Z"), 2, Limit.of(3)))
+                .thenReturn(List.of(created));
+
+        // When
+        TaskEventPageDto first = taskService.findHistory(1, null, 2);
+        TaskEventPageDto second = taskService.findHistory(1, first.getNextCursor(), 2);
+
+        // Then
+        List<TaskEventResponseDto> events = first.getEvents();
+        assertEquals(2, events.size());
+        assertEquals(TaskEventType.DELETED, events.get(0).getType());
+        assertEquals(TaskEventType.UPDATED, events.get(1).getType());
+        assertEquals("Task A", events.get(0).getTitle());
+        assertEquals(2, first.getSize());
+        assertNotNull(first.getNextCursor());
+
+        assertEquals(1, second.getEvents().size());
+        assertEquals(TaskEventType.CREATED, second.getEvents().get(0).getType());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void findHistory_shouldThrowExceptionWhenPageSizeIsInvalid() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> taskService.findHistory(1, null, 0)
+        );
+        assertEquals("Некорректные параметры страницы истории", exception.getMessage());
+        verify(taskEventRepository, never()).findByTaskIdOrderByChangedAtDescIdDesc(anyInt(), any());
+    }
+
+    @Test
+    void findHistory_shouldThrowExceptionWhenCursorIsInvalid() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> taskService.findHistory(1, "not-a-cursor", 20)
+        );
+        assertEquals("Некорректный курсор истории", exception.getMessage());
+        verify(taskEventRepository, never()).findHistoryBefore(anyInt(), any(), anyLong(), any());
+    }
+
+    private TaskEvent event(TaskEventType type, long id, String changedAt) {
+        TaskEvent event = new TaskEvent(task1, type);
+        ReflectionTestUtils.setField(event, "id", id);
+        ReflectionTestUtils.setField(event, "changedAt", Instant.parse(changedAt));
+        return event;
+    }
+
 }